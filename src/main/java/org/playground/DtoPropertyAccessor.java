@@ -0,0 +1,18 @@
+package org.playground;
+
+/**
+ * Reads the value of a named property from a resource, so that query DTOs can be evaluated in memory.
+ *
+ * @param <RESOURCE> The type of the resources being queried.
+ */
+@FunctionalInterface
+public interface DtoPropertyAccessor<RESOURCE> {
+  /**
+   * Returns the value of the given property of the given resource.
+   *
+   * @param resource The resource to read the property from. Never {@code null}.
+   * @param propertyName The name of the property as used in filter and sort DTOs.
+   * @return The property value, which may be {@code null}.
+   */
+  Object getProperty(RESOURCE resource, String propertyName);
+}
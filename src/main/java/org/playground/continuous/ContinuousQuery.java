@@ -0,0 +1,261 @@
+package org.playground.continuous;
+
+import org.playground.DtoPropertyAccessor;
+import org.playground.QueryDto;
+import org.playground.paging.OffsetPage;
+import org.playground.sorting.SortDto;
+import org.playground.sorting.SortDtoComparator;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Query DTO registered against a {@link MutableSource}, whose result is maintained incrementally.
+ * <p>
+ * The resources matching the filter are kept in an order statistic tree sorted by the sort DTO and the resource key.
+ * The tree stores a copy of the sort values taken when the resource was put, so resources may also be modified in
+ * place and put again.
+ * For every modification of the source, the query decides in logarithmic time from the rank of the modified resource
+ * whether the visible page can change. Only then the page is read from the tree and compared with the previous page.
+ * A {@link QueryDiff} is emitted when the page changed or, for queries requesting the total count, when the number of
+ * matching resources changed.
+ *
+ * @param <KEY> The type of the resource keys.
+ * @param <RESOURCE> The type of the queried resources.
+ */
+public final class ContinuousQuery<KEY extends Comparable<? super KEY>, RESOURCE> {
+
+  private final MutableSource<KEY, RESOURCE> source;
+  private final QueryDto query;
+  private final OffsetPage page;
+  private final Predicate<RESOURCE> filter;
+  private final List<String> sortPropertyNames;
+  private final DtoPropertyAccessor<RESOURCE> propertyAccessor;
+  private final Function<RESOURCE, KEY> keyExtractor;
+  private final Consumer<QueryDiff<RESOURCE>> listener;
+  private final Map<KEY, Entry<KEY, RESOURCE>> matching = new HashMap<>();
+  private final OrderStatisticTree<Entry<KEY, RESOURCE>> sorted;
+  private List<Entry<KEY, RESOURCE>> visiblePage;
+  private boolean closed;
+
+  ContinuousQuery(
+    final MutableSource<KEY, RESOURCE> source,
+    final QueryDto query,
+    final Predicate<RESOURCE> filter,
+    final DtoPropertyAccessor<RESOURCE> propertyAccessor,
+    final Function<RESOURCE, KEY> keyExtractor,
+    final Consumer<QueryDiff<RESOURCE>> listener
+  ) {
+    this.source = requireNonNull(source);
+    this.query = requireNonNull(query);
+    this.page = OffsetPage.from(query.getPage().orElse(null));
+    this.filter = requireNonNull(filter);
+    this.propertyAccessor = requireNonNull(propertyAccessor);
+    this.keyExtractor = requireNonNull(keyExtractor);
+    this.listener = requireNonNull(listener);
+    final SortDto sort = query.getSort().orElse(null);
+    this.sortPropertyNames = isNull(sort)
+      ? List.of()
+      : sort.getProperties().stream().flatMap(property -> property.getName().stream()).toList();
+    final Comparator<Entry<KEY, RESOURCE>> comparator = new SortDtoComparator<>(
+      sort,
+      (entry, propertyName) -> entry.sortValues().get(propertyName)
+    );
+    this.sorted = new OrderStatisticTree<>(comparator.thenComparing(Entry::key));
+  }
+
+  void initialize(final Iterable<RESOURCE> resources) {
+    for (final RESOURCE resource : resources) {
+      if (filter.test(resource)) {
+        final Entry<KEY, RESOURCE> entry = entry(keyExtractor.apply(resource), resource);
+        matching.put(entry.key(), entry);
+        sorted.insert(entry);
+      }
+    }
+    visiblePage = sorted.range(page.skip(), page.take());
+  }
+
+  /**
+   * Applies the put of a resource to the maintained result without calling the listener.
+   *
+   * @return The diff to emit, if the page or the requested total count changed.
+   */
+  Optional<QueryDiff<RESOURCE>> onPut(final KEY key, final RESOURCE resource) {
+    if (closed) {
+      return Optional.empty();
+    }
+    final int previousCount = sorted.size();
+    final Entry<KEY, RESOURCE> previous = matching.remove(key);
+    boolean pageAffected = false;
+    if (nonNull(previous)) {
+      pageAffected = affectsPage(remove(previous), previousCount);
+    }
+    if (filter.test(resource)) {
+      final Entry<KEY, RESOURCE> entry = entry(key, resource);
+      matching.put(key, entry);
+      pageAffected |= affectsPage(sorted.insert(entry), sorted.size());
+    }
+    return publish(pageAffected, previousCount, key);
+  }
+
+  /**
+   * Applies the removal of a resource to the maintained result without calling the listener.
+   *
+   * @return The diff to emit, if the page or the requested total count changed.
+   */
+  Optional<QueryDiff<RESOURCE>> onRemove(final KEY key) {
+    if (closed) {
+      return Optional.empty();
+    }
+    final Entry<KEY, RESOURCE> previous = matching.remove(key);
+    if (isNull(previous)) {
+      return Optional.empty();
+    }
+    final int previousCount = sorted.size();
+    return publish(affectsPage(remove(previous), previousCount), previousCount, null);
+  }
+
+  /**
+   * Passes the given diff to the listener unless this query was closed in the meantime.
+   */
+  void emit(final QueryDiff<RESOURCE> diff) {
+    if (!closed) {
+      listener.accept(diff);
+    }
+  }
+
+  /**
+   * Creates the tree entry of a resource. The sort values are copied, so the entry keeps its position in the tree even
+   * when the resource is modified in place before it is put again.
+   */
+  private Entry<KEY, RESOURCE> entry(final KEY key, final RESOURCE resource) {
+    final Map<String, Object> sortValues = new HashMap<>();
+    for (final String propertyName : sortPropertyNames) {
+      sortValues.put(propertyName, propertyAccessor.getProperty(resource, propertyName));
+    }
+    return new Entry<>(key, sortValues, resource);
+  }
+
+  private int remove(final Entry<KEY, RESOURCE> entry) {
+    final int rank = sorted.remove(entry);
+    if (rank < 0) {
+      throw new IllegalStateException("Resource " + entry.key() + " is missing from the continuous query");
+    }
+    return rank;
+  }
+
+  /**
+   * Checks whether inserting or removing a resource at the given rank shifts resources into, out of or within the
+   * visible page.
+   *
+   * @param rank The rank of the resource.
+   * @param count The number of matching resources including the resource.
+   */
+  private boolean affectsPage(final int rank, final int count) {
+    return rank < page.end() && count > page.skip();
+  }
+
+  private Optional<QueryDiff<RESOURCE>> publish(final boolean pageAffected, final int previousCount, final KEY putKey) {
+    final boolean countChanged = query.getTotalCount() && previousCount != sorted.size();
+    if (!pageAffected && !countChanged) {
+      return Optional.empty();
+    }
+    final List<Entry<KEY, RESOURCE>> previousPage = visiblePage;
+    if (pageAffected) {
+      visiblePage = sorted.range(page.skip(), page.take());
+    }
+    final QueryDiff<RESOURCE> diff = diff(previousPage, visiblePage, previousCount, putKey);
+    return diff.isPageChanged() || countChanged ? Optional.of(diff) : Optional.empty();
+  }
+
+  private QueryDiff<RESOURCE> diff(
+    final List<Entry<KEY, RESOURCE>> previousPage,
+    final List<Entry<KEY, RESOURCE>> currentPage,
+    final int previousCount,
+    final KEY putKey
+  ) {
+    final Map<KEY, Integer> previousIndexes = indexByKey(previousPage);
+    final Map<KEY, Integer> currentIndexes = indexByKey(currentPage);
+    final List<RESOURCE> removed = new ArrayList<>();
+    final List<RESOURCE> added = new ArrayList<>();
+    final List<RESOURCE> moved = new ArrayList<>();
+    final List<RESOURCE> updated = new ArrayList<>();
+    for (final Entry<KEY, RESOURCE> entry : previousPage) {
+      if (!currentIndexes.containsKey(entry.key())) {
+        removed.add(entry.resource());
+      }
+    }
+    for (int index = 0; index < currentPage.size(); index++) {
+      final Entry<KEY, RESOURCE> entry = currentPage.get(index);
+      final Integer previousIndex = previousIndexes.get(entry.key());
+      if (isNull(previousIndex)) {
+        added.add(entry.resource());
+        continue;
+      }
+      if (previousIndex != index) {
+        moved.add(entry.resource());
+      }
+      if (entry.key().equals(putKey)) {
+        updated.add(entry.resource());
+      }
+    }
+    return new QueryDiff<>(removed, added, moved, updated, resources(currentPage), previousCount, sorted.size());
+  }
+
+  private Map<KEY, Integer> indexByKey(final List<Entry<KEY, RESOURCE>> entries) {
+    final Map<KEY, Integer> indexes = new HashMap<>();
+    for (int index = 0; index < entries.size(); index++) {
+      indexes.put(entries.get(index).key(), index);
+    }
+    return indexes;
+  }
+
+  private List<RESOURCE> resources(final List<Entry<KEY, RESOURCE>> entries) {
+    return entries.stream().map(Entry::resource).toList();
+  }
+
+  public QueryDto getQuery() {
+    return query;
+  }
+
+  /**
+   * Returns the currently visible page.
+   */
+  public List<RESOURCE> getPage() {
+    synchronized (source) {
+      return resources(visiblePage);
+    }
+  }
+
+  /**
+   * Returns the current number of resources matching the filter.
+   */
+  public long getTotalCount() {
+    synchronized (source) {
+      return sorted.size();
+    }
+  }
+
+  /**
+   * Stops maintaining this query. No further diffs are emitted.
+   */
+  public void close() {
+    synchronized (source) {
+      closed = true;
+      source.unregister(this);
+    }
+  }
+
+  private record Entry<KEY, RESOURCE>(KEY key, Map<String, Object> sortValues, RESOURCE resource) {}
+}
@@ -0,0 +1,147 @@
+package org.playground.continuous;
+
+import org.playground.DtoPropertyAccessor;
+import org.playground.QueryDto;
+import org.playground.filtering.FilterDtoPredicateVisitor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+import static java.util.Optional.ofNullable;
+
+/**
+ * In-memory collection of keyed resources against which query DTOs can be registered as continuous queries.
+ * Every insert, update and delete is propagated to the registered queries, which emit a {@link QueryDiff} to their
+ * listener when their visible page or total count changed. Listeners are called synchronously while the source is
+ * locked and must therefore not modify the source; they may close continuous queries. A modification is applied to
+ * all queries before any listener is called, and every listener is called even when another one throws. The first
+ * listener failure is rethrown afterwards with the others suppressed, so no query misses a modification.
+ *
+ * @param <KEY> The type of the resource keys.
+ * @param <RESOURCE> The type of the resources.
+ */
+public final class MutableSource<KEY extends Comparable<? super KEY>, RESOURCE> {
+
+  private final Function<RESOURCE, KEY> keyExtractor;
+  private final DtoPropertyAccessor<RESOURCE> propertyAccessor;
+  private final Map<KEY, RESOURCE> resources = new HashMap<>();
+  private final List<ContinuousQuery<KEY, RESOURCE>> queries = new ArrayList<>();
+
+  /**
+   * Creates an empty mutable source.
+   *
+   * @param keyExtractor Extracts the unique key of a resource. Must not be {@code null}.
+   * @param propertyAccessor Reads the properties used by filters and sorts. Must not be {@code null}.
+   */
+  public MutableSource(
+    final Function<RESOURCE, KEY> keyExtractor,
+    final DtoPropertyAccessor<RESOURCE> propertyAccessor
+  ) {
+    this.keyExtractor = requireNonNull(keyExtractor);
+    this.propertyAccessor = requireNonNull(propertyAccessor);
+  }
+
+  /**
+   * Inserts the given resource or replaces the resource with the same key.
+   *
+   * @param resource The resource. Must not be {@code null}.
+   */
+  public synchronized void put(final RESOURCE resource) {
+    final KEY key = requireNonNull(keyExtractor.apply(requireNonNull(resource)));
+    resources.put(key, resource);
+    final List<Runnable> notifications = new ArrayList<>();
+    for (final ContinuousQuery<KEY, RESOURCE> query : queries) {
+      query.onPut(key, resource).ifPresent(diff -> notifications.add(() -> query.emit(diff)));
+    }
+    emitAll(notifications);
+  }
+
+  /**
+   * Removes the resource with the given key.
+   *
+   * @param key The key of the resource.
+   * @return {@code true} when a resource was removed and {@code false} otherwise.
+   */
+  public synchronized boolean remove(final KEY key) {
+    if (isNull(resources.remove(key))) {
+      return false;
+    }
+    final List<Runnable> notifications = new ArrayList<>();
+    for (final ContinuousQuery<KEY, RESOURCE> query : queries) {
+      query.onRemove(key).ifPresent(diff -> notifications.add(() -> query.emit(diff)));
+    }
+    emitAll(notifications);
+    return true;
+  }
+
+  /**
+   * Calls all listeners, rethrowing the first failure after the last listener was called.
+   */
+  private static void emitAll(final List<Runnable> notifications) {
+    RuntimeException failure = null;
+    for (final Runnable notification : notifications) {
+      try {
+        notification.run();
+      } catch (final RuntimeException exception) {
+        if (isNull(failure)) {
+          failure = exception;
+        } else {
+          failure.addSuppressed(exception);
+        }
+      }
+    }
+    if (nonNull(failure)) {
+      throw failure;
+    }
+  }
+
+  public synchronized Optional<RESOURCE> get(final KEY key) {
+    return ofNullable(resources.get(key));
+  }
+
+  public synchronized int size() {
+    return resources.size();
+  }
+
+  /**
+   * Registers the given query DTO as a continuous query. Its initial page is available from
+   * {@link ContinuousQuery#getPage()}; subsequent changes are reported to the listener.
+   *
+   * @param queryDto The query DTO. Must not be {@code null} and must not contain a search text.
+   * @param listener The listener receiving the diffs. Must not be {@code null}.
+   * @return The registered continuous query.
+   * @throws IllegalArgumentException If the query DTO is invalid or contains a search text.
+   */
+  public synchronized ContinuousQuery<KEY, RESOURCE> register(
+    final QueryDto queryDto,
+    final Consumer<QueryDiff<RESOURCE>> listener
+  ) {
+    requireNonNull(queryDto);
+    if (queryDto.getSearchText().isPresent()) {
+      throw new IllegalArgumentException("Continuous queries do not support search texts");
+    }
+    final ContinuousQuery<KEY, RESOURCE> query = new ContinuousQuery<>(
+      this,
+      queryDto,
+      new FilterDtoPredicateVisitor<>(propertyAccessor).compile(queryDto.getFilter().orElse(null)),
+      propertyAccessor,
+      keyExtractor,
+      listener
+    );
+    query.initialize(resources.values());
+    queries.add(query);
+    return query;
+  }
+
+  synchronized void unregister(final ContinuousQuery<KEY, RESOURCE> query) {
+    queries.remove(query);
+  }
+}
@@ -0,0 +1,184 @@
+package org.playground.continuous;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Sorted collection answering rank and index queries in logarithmic expected time.
+ * Implemented as a treap whose nodes carry the size of their subtree. The comparator must be a total order,
+ * i.e. distinct elements must never compare equal.
+ *
+ * @param <E> The type of the elements.
+ */
+final class OrderStatisticTree<E> {
+
+  private final Comparator<? super E> comparator;
+  private Node<E> root;
+  private long seed = 0x2545F4914F6CDD1DL;
+
+  OrderStatisticTree(final Comparator<? super E> comparator) {
+    this.comparator = requireNonNull(comparator);
+  }
+
+  int size() {
+    return size(root);
+  }
+
+  /**
+   * Inserts the given element.
+   *
+   * @param element The element to insert.
+   * @return The index of the element after insertion.
+   */
+  int insert(final E element) {
+    final int rank = countLess(element);
+    final Split<E> split = splitAt(root, rank);
+    root = merge(merge(split.left, new Node<>(element, nextPriority())), split.right);
+    return rank;
+  }
+
+  /**
+   * Removes the given element.
+   *
+   * @param element The element to remove.
+   * @return The index the element had before removal or {@code -1} if the element is not contained.
+   */
+  int remove(final E element) {
+    final int rank = countLess(element);
+    if (rank >= size() || comparator.compare(get(rank), element) != 0) {
+      return -1;
+    }
+    final Split<E> split = splitAt(root, rank);
+    root = merge(split.left, splitAt(split.right, 1).right);
+    return rank;
+  }
+
+  /**
+   * Returns the element at the given index.
+   *
+   * @param index The index, must be between {@code 0} inclusive and {@link #size()} exclusive.
+   * @return The element at the index.
+   */
+  E get(final int index) {
+    Node<E> node = root;
+    int remaining = index;
+    while (true) {
+      final int leftSize = size(node.left);
+      if (remaining < leftSize) {
+        node = node.left;
+      } else if (remaining == leftSize) {
+        return node.element;
+      } else {
+        remaining -= leftSize + 1;
+        node = node.right;
+      }
+    }
+  }
+
+  /**
+   * Returns up to {@code count} elements in order, starting at index {@code from}.
+   *
+   * @param from The index of the first element.
+   * @param count The maximum number of elements.
+   * @return The elements in the range.
+   */
+  List<E> range(final int from, final int count) {
+    final List<E> result = new ArrayList<>(Math.max(0, Math.min(count, size() - from)));
+    collect(root, from, count, result);
+    return result;
+  }
+
+  private void collect(final Node<E> node, final int from, final int count, final List<E> result) {
+    if (isNull(node) || result.size() >= count) {
+      return;
+    }
+    final int leftSize = size(node.left);
+    if (from < leftSize) {
+      collect(node.left, from, count, result);
+    }
+    if (from <= leftSize && result.size() < count) {
+      result.add(node.element);
+    }
+    if (result.size() < count) {
+      collect(node.right, Math.max(0, from - leftSize - 1), count, result);
+    }
+  }
+
+  private int countLess(final E element) {
+    int count = 0;
+    Node<E> node = root;
+    while (node != null) {
+      if (comparator.compare(node.element, element) < 0) {
+        count += size(node.left) + 1;
+        node = node.right;
+      } else {
+        node = node.left;
+      }
+    }
+    return count;
+  }
+
+  private Split<E> splitAt(final Node<E> node, final int index) {
+    if (isNull(node)) {
+      return new Split<>(null, null);
+    }
+    if (index <= size(node.left)) {
+      final Split<E> split = splitAt(node.left, index);
+      node.left = split.right;
+      node.update();
+      return new Split<>(split.left, node);
+    }
+    final Split<E> split = splitAt(node.right, index - size(node.left) - 1);
+    node.right = split.left;
+    node.update();
+    return new Split<>(node, split.right);
+  }
+
+  private Node<E> merge(final Node<E> left, final Node<E> right) {
+    if (isNull(left)) return right;
+    if (isNull(right)) return left;
+    if (left.priority > right.priority) {
+      left.right = merge(left.right, right);
+      left.update();
+      return left;
+    }
+    right.left = merge(left, right.left);
+    right.update();
+    return right;
+  }
+
+  private long nextPriority() {
+    seed ^= seed << 13;
+    seed ^= seed >>> 7;
+    seed ^= seed << 17;
+    return seed;
+  }
+
+  private static int size(final Node<?> node) {
+    return isNull(node) ? 0 : node.size;
+  }
+
+  private static final class Node<E> {
+
+    private final E element;
+    private final long priority;
+    private Node<E> left;
+    private Node<E> right;
+    private int size = 1;
+
+    private Node(final E element, final long priority) {
+      this.element = element;
+      this.priority = priority;
+    }
+
+    private void update() {
+      size = size(left) + size(right) + 1;
+    }
+  }
+
+  private record Split<E>(Node<E> left, Node<E> right) {}
+}
@@ -0,0 +1,102 @@
+package org.playground.continuous;
+
+import java.util.List;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Describes how the visible page and the total count of a continuous query changed after a source modification.
+ * Resources are identified by their key, so a resource which was replaced by a new version keeps its identity.
+ *
+ * @param <RESOURCE> The type of the queried resources.
+ */
+public final class QueryDiff<RESOURCE> {
+
+  private final List<RESOURCE> removed;
+  private final List<RESOURCE> added;
+  private final List<RESOURCE> moved;
+  private final List<RESOURCE> updated;
+  private final List<RESOURCE> page;
+  private final long previousTotalCount;
+  private final long totalCount;
+
+  QueryDiff(
+    final List<RESOURCE> removed,
+    final List<RESOURCE> added,
+    final List<RESOURCE> moved,
+    final List<RESOURCE> updated,
+    final List<RESOURCE> page,
+    final long previousTotalCount,
+    final long totalCount
+  ) {
+    this.removed = unmodifiableList(requireNonNull(removed));
+    this.added = unmodifiableList(requireNonNull(added));
+    this.moved = unmodifiableList(requireNonNull(moved));
+    this.updated = unmodifiableList(requireNonNull(updated));
+    this.page = unmodifiableList(requireNonNull(page));
+    this.previousTotalCount = previousTotalCount;
+    this.totalCount = totalCount;
+  }
+
+  /**
+   * Returns the resources which were on the page before and are not anymore, in their previous version.
+   */
+  public List<RESOURCE> getRemoved() {
+    return removed;
+  }
+
+  /**
+   * Returns the resources which are on the page now and were not before.
+   */
+  public List<RESOURCE> getAdded() {
+    return added;
+  }
+
+  /**
+   * Returns the resources which stayed on the page at a different position.
+   */
+  public List<RESOURCE> getMoved() {
+    return moved;
+  }
+
+  /**
+   * Returns the resources which stayed on the page and were put again.
+   */
+  public List<RESOURCE> getUpdated() {
+    return updated;
+  }
+
+  /**
+   * Returns the visible page after the modification.
+   */
+  public List<RESOURCE> getPage() {
+    return page;
+  }
+
+  public long getPreviousTotalCount() {
+    return previousTotalCount;
+  }
+
+  public long getTotalCount() {
+    return totalCount;
+  }
+
+  /**
+   * Checks whether the visible page changed or not.
+   *
+   * @return {@code true} when resources were removed, added, moved or updated and {@code false} otherwise.
+   */
+  public boolean isPageChanged() {
+    return !removed.isEmpty() || !added.isEmpty() || !moved.isEmpty() || !updated.isEmpty();
+  }
+
+  /**
+   * Checks whether the total count changed or not.
+   *
+   * @return {@code true} when the total count changed and {@code false} otherwise.
+   */
+  public boolean isTotalCountChanged() {
+    return previousTotalCount != totalCount;
+  }
+}
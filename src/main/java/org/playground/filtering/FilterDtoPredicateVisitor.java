@@ -0,0 +1,130 @@
+package org.playground.filtering;
+
+import org.playground.DtoPropertyAccessor;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.requireNonNull;
+import static org.playground.filtering.DtoFilterLogic.DEFAULT_FILTER_LOGIC;
+import static org.playground.filtering.DtoFilterOperator.DEFAULT_FILTER_OPERATOR;
+import static org.playground.filtering.DtoFilterOperator.NULL_VALUE_OPERATORS;
+
+/**
+ * Compiles a filter DTO into a predicate which evaluates the filter against resources in memory.
+ * <p>
+ * Criterion values are compared against the property values with the property type: numbers numerically (floating
+ * point numbers including {@code NaN} and infinities like {@link Double#compare(double, double)}), booleans
+ * and enums by their parsed value or name and everything else by its string representation. The string operators
+ * {@link DtoFilterOperator#CONTAINS}, {@link DtoFilterOperator#NOT_CONTAINS}, {@link DtoFilterOperator#STARTS_WITH}
+ * and {@link DtoFilterOperator#ENDS_WITH} ignore case and are evaluated by a {@link StringMatcher} compiled once per
+ * criterion; {@code byte[]} property values are matched as UTF-8 without decoding them. The value of
+ * {@link DtoFilterOperator#IN} is a comma separated list. Criteria on {@code null} property values only match
+ * {@link DtoFilterOperator#EQUAL} and {@link DtoFilterOperator#NOT_EQUAL}. A {@link DtoFilterLogic#NOT} composite
+ * matches when none of its filters match.
+ *
+ * @param <RESOURCE> The type of the resources being filtered.
+ */
+public final class FilterDtoPredicateVisitor<RESOURCE> implements FilterDtoVisitor<Predicate<RESOURCE>> {
+
+  private final DtoPropertyAccessor<RESOURCE> propertyAccessor;
+
+  /**
+   * Creates a filter predicate visitor reading the filtered properties with the given accessor.
+   *
+   * @param propertyAccessor The property accessor. Must not be {@code null}.
+   */
+  public FilterDtoPredicateVisitor(final DtoPropertyAccessor<RESOURCE> propertyAccessor) {
+    this.propertyAccessor = requireNonNull(propertyAccessor);
+  }
+
+  /**
+   * Compiles the given filter DTO into a predicate.
+   *
+   * @param filterDto The filter DTO, may be {@code null} in which case all resources match.
+   * @return The predicate evaluating the filter.
+   * @throws IllegalArgumentException If the filter contains unsupported operators or logic values.
+   */
+  public Predicate<RESOURCE> compile(final FilterDto filterDto) {
+    if (isNull(filterDto) || filterDto.isEmpty()) {
+      return resource -> true;
+    }
+    return filterDto.accept(this);
+  }
+
+  @Override
+  public Predicate<RESOURCE> visitComposite(final FilterDto filterComposite) {
+    final DtoFilterLogic logic = filterComposite.getLogic().map(DtoFilterLogic::valueOf).orElse(DEFAULT_FILTER_LOGIC);
+    final List<Predicate<RESOURCE>> predicates = filterComposite
+      .getFilters()
+      .stream()
+      .map(filter -> filter.accept(this))
+      .toList();
+    return switch (logic) {
+      case AND -> resource -> predicates.stream().allMatch(predicate -> predicate.test(resource));
+      case OR -> resource -> predicates.stream().anyMatch(predicate -> predicate.test(resource));
+      case NOT -> resource -> predicates.stream().noneMatch(predicate -> predicate.test(resource));
+    };
+  }
+
+  @Override
+  public Predicate<RESOURCE> visitCriterion(final FilterDto filterCriterion) {
+    final String name = filterCriterion.getName().orElseThrow();
+    final String value = filterCriterion.getValue().orElse(null);
+    final DtoFilterOperator operator = filterCriterion
+      .getOperator()
+      .map(DtoFilterOperator::valueOf)
+      .orElse(DEFAULT_FILTER_OPERATOR);
+    if (isNull(value) && !NULL_VALUE_OPERATORS.contains(operator)) {
+      throw new IllegalArgumentException("Filter operator " + operator + " does not accept null values");
+    }
+    final Predicate<Object> valuePredicate = valuePredicate(operator, value);
+    return resource -> valuePredicate.test(propertyAccessor.getProperty(resource, name));
+  }
+
+  private static Predicate<Object> valuePredicate(final DtoFilterOperator operator, final String value) {
+    return switch (operator) {
+      case EQUAL -> property -> isNull(value) ? isNull(property) : nonNullAnd(property, p -> compare(p, value) == 0);
+      case NOT_EQUAL -> property ->
+        isNull(value) ? !isNull(property) : isNull(property) || compare(property, value) != 0;
+      case LESS_THAN -> property -> nonNullAnd(property, p -> compare(p, value) < 0);
+      case LESS_THAN_OR_EQUAL -> property -> nonNullAnd(property, p -> compare(p, value) <= 0);
+      case GREATER_THAN -> property -> nonNullAnd(property, p -> compare(p, value) > 0);
+      case GREATER_THAN_OR_EQUAL -> property -> nonNullAnd(property, p -> compare(p, value) >= 0);
+      case CONTAINS, NOT_CONTAINS, STARTS_WITH, ENDS_WITH -> {
+        final StringMatcher matcher = StringMatcher.compile(operator, value);
+        yield property -> nonNullAnd(property, matcher::matches);
+      }
+      case IN -> {
+        final List<String> values = Arrays.stream(value.split(",")).map(String::trim).toList();
+        yield property -> nonNullAnd(property, p -> values.stream().anyMatch(v -> compare(p, v) == 0));
+      }
+    };
+  }
+
+  private static boolean nonNullAnd(final Object property, final Predicate<Object> predicate) {
+    return !isNull(property) && predicate.test(property);
+  }
+
+  /**
+   * Compares a property value with a criterion value, parsing the criterion value according to the property type.
+   */
+  private static int compare(final Object property, final String value) {
+    if (property instanceof Double || property instanceof Float) {
+      return Double.compare(((Number) property).doubleValue(), Double.parseDouble(value.trim()));
+    }
+    if (property instanceof Number) {
+      return new BigDecimal(property.toString()).compareTo(new BigDecimal(value.trim()));
+    }
+    if (property instanceof Boolean bool) {
+      return Boolean.compare(bool, Boolean.parseBoolean(value.trim()));
+    }
+    if (property instanceof Enum<?> enumValue) {
+      return enumValue.name().compareTo(value);
+    }
+    return property.toString().compareTo(value);
+  }
+}
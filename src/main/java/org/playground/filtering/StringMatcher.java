@@ -0,0 +1,308 @@
+package org.playground.filtering;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Set;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+import static org.playground.filtering.DtoFilterOperator.CONTAINS;
+import static org.playground.filtering.DtoFilterOperator.ENDS_WITH;
+import static org.playground.filtering.DtoFilterOperator.NOT_CONTAINS;
+import static org.playground.filtering.DtoFilterOperator.STARTS_WITH;
+
+/**
+ * Precompiled case-insensitive matcher for the string filter operators of a single filter criterion.
+ * <p>
+ * The needle is case folded once when the matcher is compiled, the values are folded character by character while
+ * they are scanned, so no lower-cased copies are allocated per value. Characters are folded like
+ * {@link String#equalsIgnoreCase(String)} does. Needles of at least {@value #SKIP_TABLE_MIN_LENGTH} characters are
+ * searched with a Boyer-Moore-Horspool skip table. Needles containing supplementary characters are matched code point
+ * by code point with {@link String#regionMatches(boolean, int, String, int, int)} instead, as supplementary letters
+ * can only be folded as a whole; other needles never match surrogates, so folding single characters is exact for
+ * them.
+ * <p>
+ * Values can also be matched as UTF-8 encoded {@code byte[]} without decoding them. When the folded needle is ASCII,
+ * the bytes are compared directly and short needles are located with a word-at-a-time scan over eight bytes. The
+ * values are only decoded when the needle is not ASCII, or when it contains one of the letters {@code i}, {@code k}
+ * or {@code s} and the value contains non-ASCII characters, as some of those fold to these letters.
+ */
+public final class StringMatcher {
+
+  /**
+   * The filter operators supported by string matchers.
+   */
+  public static final Set<DtoFilterOperator> STRING_OPERATORS = Set.of(CONTAINS, NOT_CONTAINS, STARTS_WITH, ENDS_WITH);
+
+  /**
+   * The minimum needle length from which on a skip table is used.
+   */
+  public static final int SKIP_TABLE_MIN_LENGTH = 4;
+
+  private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+  private static final long ONES = 0x0101010101010101L;
+  private static final long HIGH_BITS = 0x8080808080808080L;
+  private static final int ALPHABET_MASK = 0xFF;
+
+  private final DtoFilterOperator operator;
+  private final char[] needle;
+  private final int[] skipTable;
+  private final byte[] asciiNeedle;
+  private final int[] asciiSkipTable;
+  private final boolean needsDecodingForNonAsciiValues;
+  private final String supplementaryNeedle;
+
+  private StringMatcher(final DtoFilterOperator operator, final String value) {
+    this.operator = operator;
+    final boolean supplementary = value.chars().anyMatch(character -> Character.isSurrogate((char) character));
+    this.supplementaryNeedle = supplementary ? value : null;
+    this.needle = new char[value.length()];
+    boolean ascii = true;
+    boolean needsDecodingForNonAsciiValues = false;
+    for (int index = 0; index < needle.length; index++) {
+      final char folded = fold(value.charAt(index));
+      needle[index] = folded;
+      ascii &= folded < 0x80;
+      needsDecodingForNonAsciiValues |= folded == 'i' || folded == 'k' || folded == 's';
+    }
+    this.needsDecodingForNonAsciiValues = needsDecodingForNonAsciiValues;
+    this.skipTable = needle.length >= SKIP_TABLE_MIN_LENGTH ? skipTable(needle) : null;
+    if (ascii) {
+      this.asciiNeedle = new byte[needle.length];
+      for (int index = 0; index < needle.length; index++) {
+        asciiNeedle[index] = (byte) needle[index];
+      }
+      this.asciiSkipTable = skipTable;
+    } else {
+      this.asciiNeedle = null;
+      this.asciiSkipTable = null;
+    }
+  }
+
+  /**
+   * Compiles a string matcher for the given filter operator and criterion value.
+   *
+   * @param operator The filter operator. Must be one of the {@link #STRING_OPERATORS}.
+   * @param value The criterion value to match. Must not be {@code null}.
+   * @return The compiled string matcher.
+   * @throws IllegalArgumentException If the filter operator is not a string operator.
+   */
+  public static StringMatcher compile(final DtoFilterOperator operator, final String value) {
+    if (!STRING_OPERATORS.contains(requireNonNull(operator))) {
+      throw new IllegalArgumentException("Filter operator " + operator + " is not a string operator");
+    }
+    return new StringMatcher(operator, requireNonNull(value));
+  }
+
+  /**
+   * Matches the given property value. UTF-8 encoded {@code byte[]} values are matched without decoding them,
+   * character sequences directly and all other values by their string representation.
+   *
+   * @param value The property value. Must not be {@code null}.
+   * @return {@code true} when the value matches and {@code false} otherwise.
+   */
+  public boolean matches(final Object value) {
+    if (value instanceof byte[] utf8) {
+      return matches(utf8, 0, utf8.length);
+    }
+    if (value instanceof CharSequence chars) {
+      return matches(chars);
+    }
+    return matches(value.toString());
+  }
+
+  /**
+   * Matches the given character sequence.
+   *
+   * @param value The value. Must not be {@code null}.
+   * @return {@code true} when the value matches and {@code false} otherwise.
+   */
+  public boolean matches(final CharSequence value) {
+    return switch (operator) {
+      case CONTAINS -> indexOf(value) >= 0;
+      case NOT_CONTAINS -> indexOf(value) < 0;
+      case STARTS_WITH -> regionMatches(value, 0);
+      case ENDS_WITH -> regionMatches(value, value.length() - needle.length);
+      default -> throw new IllegalStateException("Unsupported filter operator " + operator);
+    };
+  }
+
+  /**
+   * Matches the given range of UTF-8 encoded bytes.
+   *
+   * @param utf8 The UTF-8 encoded value. Must not be {@code null}.
+   * @param offset The index of the first byte of the value.
+   * @param length The number of bytes of the value.
+   * @return {@code true} when the value matches and {@code false} otherwise.
+   */
+  public boolean matches(final byte[] utf8, final int offset, final int length) {
+    if (asciiNeedle == null || (needsDecodingForNonAsciiValues && !isAscii(utf8, offset, offset + length))) {
+      return matches(new String(utf8, offset, length, UTF_8));
+    }
+    final int end = offset + length;
+    return switch (operator) {
+      case CONTAINS -> indexOf(utf8, offset, end) >= 0;
+      case NOT_CONTAINS -> indexOf(utf8, offset, end) < 0;
+      case STARTS_WITH -> length >= asciiNeedle.length && regionMatches(utf8, offset);
+      case ENDS_WITH -> length >= asciiNeedle.length && regionMatches(utf8, end - asciiNeedle.length);
+      default -> throw new IllegalStateException("Unsupported filter operator " + operator);
+    };
+  }
+
+  private int indexOf(final CharSequence value) {
+    final int last = value.length() - needle.length;
+    if (supplementaryNeedle != null) {
+      final String string = value.toString();
+      for (int index = 0; index <= last; index++) {
+        if (string.regionMatches(true, index, supplementaryNeedle, 0, needle.length)) {
+          return index;
+        }
+      }
+      return -1;
+    }
+    if (skipTable == null) {
+      for (int index = 0; index <= last; index++) {
+        if (regionMatches(value, index)) {
+          return index;
+        }
+      }
+      return -1;
+    }
+    int index = 0;
+    while (index <= last) {
+      int position = needle.length - 1;
+      while (position >= 0 && fold(value.charAt(index + position)) == needle[position]) {
+        position--;
+      }
+      if (position < 0) {
+        return index;
+      }
+      index += skipTable[fold(value.charAt(index + needle.length - 1)) & ALPHABET_MASK];
+    }
+    return -1;
+  }
+
+  private boolean regionMatches(final CharSequence value, final int start) {
+    if (start < 0 || start + needle.length > value.length()) {
+      return false;
+    }
+    if (supplementaryNeedle != null) {
+      return value.toString().regionMatches(true, start, supplementaryNeedle, 0, needle.length);
+    }
+    for (int position = 0; position < needle.length; position++) {
+      if (fold(value.charAt(start + position)) != needle[position]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int indexOf(final byte[] value, final int from, final int end) {
+    final int length = asciiNeedle.length;
+    final int last = end - length;
+    if (length == 0) {
+      return from;
+    }
+    if (asciiSkipTable == null) {
+      int index = from;
+      while (index <= last) {
+        index = indexOfFolded(value, index, last + 1, asciiNeedle[0]);
+        if (index < 0) {
+          return -1;
+        }
+        if (regionMatches(value, index)) {
+          return index;
+        }
+        index++;
+      }
+      return -1;
+    }
+    int index = from;
+    while (index <= last) {
+      int position = length - 1;
+      while (position >= 0 && foldAscii(value[index + position]) == asciiNeedle[position]) {
+        position--;
+      }
+      if (position < 0) {
+        return index;
+      }
+      index += asciiSkipTable[foldAscii(value[index + length - 1]) & ALPHABET_MASK];
+    }
+    return -1;
+  }
+
+  private boolean regionMatches(final byte[] value, final int start) {
+    for (int position = 0; position < asciiNeedle.length; position++) {
+      if (foldAscii(value[start + position]) != asciiNeedle[position]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Finds the first byte in the given range which folds to the given lower-case ASCII byte, eight bytes at a time.
+   */
+  private static int indexOfFolded(final byte[] value, final int from, final int end, final byte folded) {
+    final long lowerPattern = ONES * (folded & 0xFF);
+    final long upperPattern = folded >= 'a' && folded <= 'z' ? ONES * ((folded - 0x20) & 0xFF) : lowerPattern;
+    int index = from;
+    for (; index + Long.BYTES <= end; index += Long.BYTES) {
+      final long word = (long) LONGS.get(value, index);
+      final long found = zeroBytes(word ^ lowerPattern) | zeroBytes(word ^ upperPattern);
+      if (found != 0) {
+        return index + (Long.numberOfTrailingZeros(found) >>> 3);
+      }
+    }
+    for (; index < end; index++) {
+      if (foldAscii(value[index]) == folded) {
+        return index;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Sets the high bit of the lowest zero byte of the given word. Higher bytes may be marked spuriously.
+   */
+  private static long zeroBytes(final long word) {
+    return (word - ONES) & ~word & HIGH_BITS;
+  }
+
+  private static boolean isAscii(final byte[] value, final int from, final int end) {
+    int index = from;
+    for (; index + Long.BYTES <= end; index += Long.BYTES) {
+      if (((long) LONGS.get(value, index) & HIGH_BITS) != 0) {
+        return false;
+      }
+    }
+    for (; index < end; index++) {
+      if (value[index] < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int[] skipTable(final char[] needle) {
+    final int[] table = new int[ALPHABET_MASK + 1];
+    Arrays.fill(table, needle.length);
+    for (int index = 0; index < needle.length - 1; index++) {
+      table[needle[index] & ALPHABET_MASK] = needle.length - 1 - index;
+    }
+    return table;
+  }
+
+  private static char fold(final char character) {
+    if (character < 0x80) {
+      return character >= 'A' && character <= 'Z' ? (char) (character + 0x20) : character;
+    }
+    return Character.toLowerCase(Character.toUpperCase(character));
+  }
+
+  private static byte foldAscii(final byte character) {
+    return character >= 'A' && character <= 'Z' ? (byte) (character + 0x20) : character;
+  }
+}
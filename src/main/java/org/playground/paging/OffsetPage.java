@@ -0,0 +1,53 @@
+package org.playground.paging;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Resolved offset paging information used when a query DTO is evaluated in memory.
+ *
+ * @param skip The number of entries to skip. Never negative.
+ * @param take The number of results to take. Never negative.
+ */
+public record OffsetPage(int skip, int take) {
+
+  /**
+   * The page taking all results without skipping any.
+   */
+  public static final OffsetPage UNBOUNDED = new OffsetPage(0, Integer.MAX_VALUE);
+
+  /**
+   * Creates an offset page with the given skip and take values.
+   *
+   * @throws IllegalArgumentException If one of the values is negative.
+   */
+  public OffsetPage {
+    if (skip < 0 || take < 0) {
+      throw new IllegalArgumentException("Skip and take must not be negative");
+    }
+  }
+
+  /**
+   * Resolves the given offset page DTO. Missing skip values default to {@code 0}, missing take values to all results.
+   *
+   * @param pageDto The offset page DTO, may be {@code null}.
+   * @return The resolved offset page.
+   * @throws IllegalArgumentException If the skip or take value is not a non-negative integer.
+   */
+  public static OffsetPage from(final OffsetPageDto pageDto) {
+    if (isNull(pageDto)) {
+      return UNBOUNDED;
+    }
+    final int skip = pageDto.getSkip().map(Integer::parseInt).orElse(0);
+    final int take = pageDto.getTake().map(Integer::parseInt).orElse(Integer.MAX_VALUE);
+    return new OffsetPage(skip, take);
+  }
+
+  /**
+   * Returns the exclusive end index of this page, saturating at {@link Integer#MAX_VALUE}.
+   *
+   * @return The sum of skip and take.
+   */
+  public int end() {
+    return (int) Math.min((long) skip + take, Integer.MAX_VALUE);
+  }
+}
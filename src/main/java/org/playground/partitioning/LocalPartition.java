@@ -0,0 +1,169 @@
+package org.playground.partitioning;
+
+import org.playground.DtoPropertyAccessor;
+import org.playground.filtering.DtoFilterLogic;
+import org.playground.filtering.DtoFilterOperator;
+import org.playground.filtering.FilterDto;
+import org.playground.filtering.FilterDtoPredicateVisitor;
+import org.playground.filtering.FilterDtoVisitor;
+import org.playground.sorting.SortDto;
+import org.playground.sorting.SortDtoComparator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.requireNonNull;
+import static org.playground.filtering.DtoFilterLogic.DEFAULT_FILTER_LOGIC;
+import static org.playground.filtering.DtoFilterOperator.DEFAULT_FILTER_OPERATOR;
+import static org.playground.filtering.DtoFilterOperator.GREATER_THAN_OR_EQUAL;
+import static org.playground.filtering.DtoFilterOperator.LESS_THAN_OR_EQUAL;
+import static org.playground.filtering.DtoFilterOperator.NOT_EQUAL;
+
+/**
+ * In-process partition holding an immutable snapshot of resources in memory.
+ * <p>
+ * Queries are evaluated with a {@link FilterDtoPredicateVisitor} and only the first {@code limit} resources are kept
+ * in a bounded heap. Ties in the sort order are broken by the position of the resources in the snapshot. The minimum,
+ * maximum and {@code null} count of each filtered property are computed on first use and allow
+ * {@link #mayMatch(FilterDto)} to skip the partition for equality, range and {@code IN} criteria.
+ *
+ * @param <RESOURCE> The type of the resources.
+ */
+public final class LocalPartition<RESOURCE> implements QueryPartition<RESOURCE> {
+
+  private final List<RESOURCE> resources;
+  private final DtoPropertyAccessor<RESOURCE> propertyAccessor;
+  private final Map<String, PropertyStatistics> statistics = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a local partition with the given resources.
+   *
+   * @param resources The resources of the partition. Must not be {@code null}.
+   * @param propertyAccessor Reads the properties used by filters and sorts. Must not be {@code null}.
+   */
+  public LocalPartition(final Collection<RESOURCE> resources, final DtoPropertyAccessor<RESOURCE> propertyAccessor) {
+    this.resources = List.copyOf(requireNonNull(resources));
+    this.propertyAccessor = requireNonNull(propertyAccessor);
+  }
+
+  @Override
+  public PartitionPage<RESOURCE> query(
+    final FilterDto filter,
+    final SortDto sort,
+    final int limit,
+    final boolean totalCount
+  ) {
+    final Predicate<RESOURCE> predicate = new FilterDtoPredicateVisitor<>(propertyAccessor).compile(filter);
+    final Comparator<Indexed<RESOURCE>> comparator = Comparator
+      .comparing(Indexed<RESOURCE>::resource, new SortDtoComparator<>(sort, propertyAccessor))
+      .thenComparingInt(Indexed::index);
+    final PriorityQueue<Indexed<RESOURCE>> top = new PriorityQueue<>(comparator.reversed());
+    long count = 0;
+    for (int index = 0; index < resources.size(); index++) {
+      final RESOURCE resource = resources.get(index);
+      if (!predicate.test(resource)) {
+        continue;
+      }
+      count++;
+      if (top.size() < limit) {
+        top.add(new Indexed<>(index, resource));
+      } else if (limit > 0 && comparator.compare(new Indexed<>(index, resource), top.peek()) < 0) {
+        top.poll();
+        top.add(new Indexed<>(index, resource));
+      }
+    }
+    final List<Indexed<RESOURCE>> sorted = new ArrayList<>(top);
+    sorted.sort(comparator);
+    return new PartitionPage<>(sorted.stream().map(Indexed::resource).toList(), totalCount ? count : -1);
+  }
+
+  @Override
+  public boolean mayMatch(final FilterDto filter) {
+    if (resources.isEmpty()) {
+      return false;
+    }
+    return isNull(filter) || filter.isEmpty() || filter.accept(new MayMatchVisitor());
+  }
+
+  private PropertyStatistics statistics(final String propertyName) {
+    return statistics.computeIfAbsent(propertyName, name -> {
+      final PropertyStatistics result = new PropertyStatistics();
+      resources.forEach(resource -> result.add(propertyAccessor.getProperty(resource, name)));
+      return result;
+    });
+  }
+
+  private record Indexed<RESOURCE>(int index, RESOURCE resource) {}
+
+  /**
+   * Decides conservatively from the property statistics whether a filter may match resources of this partition.
+   */
+  private final class MayMatchVisitor implements FilterDtoVisitor<Boolean> {
+
+    @Override
+    public Boolean visitComposite(final FilterDto filterComposite) {
+      final DtoFilterLogic logic = filterComposite.getLogic().map(DtoFilterLogic::valueOf).orElse(DEFAULT_FILTER_LOGIC);
+      final List<FilterDto> filters = filterComposite.getFilters();
+      return switch (logic) {
+        case AND -> filters.stream().allMatch(filter -> filter.accept(this));
+        case OR -> filters.stream().anyMatch(filter -> filter.accept(this));
+        case NOT -> true;
+      };
+    }
+
+    @Override
+    public Boolean visitCriterion(final FilterDto filterCriterion) {
+      final String name = filterCriterion.getName().orElseThrow();
+      final String value = filterCriterion.getValue().orElse(null);
+      final DtoFilterOperator operator = filterCriterion
+        .getOperator()
+        .map(DtoFilterOperator::valueOf)
+        .orElse(DEFAULT_FILTER_OPERATOR);
+      final PropertyStatistics propertyStatistics = statistics(name);
+      if (isNull(value)) {
+        return switch (operator) {
+          case EQUAL -> propertyStatistics.getNullCount() > 0;
+          case NOT_EQUAL -> propertyStatistics.getNonNullCount() > 0;
+          default -> true;
+        };
+      }
+      if (propertyStatistics.getNonNullCount() == 0) {
+        return operator == NOT_EQUAL;
+      }
+      if (!propertyStatistics.isOrdered()) {
+        return true;
+      }
+      return switch (operator) {
+        case EQUAL -> inRange(name, value, propertyStatistics);
+        case LESS_THAN, LESS_THAN_OR_EQUAL -> test(name, value, operator, propertyStatistics.getMinimum());
+        case GREATER_THAN, GREATER_THAN_OR_EQUAL -> test(name, value, operator, propertyStatistics.getMaximum());
+        case IN -> Arrays.stream(value.split(",")).anyMatch(v -> inRange(name, v.trim(), propertyStatistics));
+        default -> true;
+      };
+    }
+
+    private boolean inRange(final String name, final String value, final PropertyStatistics propertyStatistics) {
+      return (
+        test(name, value, LESS_THAN_OR_EQUAL, propertyStatistics.getMinimum()) &&
+        test(name, value, GREATER_THAN_OR_EQUAL, propertyStatistics.getMaximum())
+      );
+    }
+
+    /**
+     * Evaluates a criterion against a single property value with the same semantics as the filter predicate.
+     */
+    private boolean test(final String name, final String value, final DtoFilterOperator operator, final Object bound) {
+      return new FilterDtoPredicateVisitor<Object>((resource, propertyName) -> resource)
+        .compile(new FilterDto(name, value, operator))
+        .test(bound);
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package org.playground.partitioning;
+
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The sorted resources a partition returned for a query.
+ *
+ * @param resources The first matching resources in sort order.
+ * @param totalCount The number of all matching resources, or {@code -1} when it was not requested.
+ * @param <RESOURCE> The type of the resources.
+ */
+public record PartitionPage<RESOURCE>(List<RESOURCE> resources, long totalCount) {
+
+  public PartitionPage {
+    resources = List.copyOf(requireNonNull(resources));
+  }
+}
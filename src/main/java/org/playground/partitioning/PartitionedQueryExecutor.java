@@ -0,0 +1,151 @@
+package org.playground.partitioning;
+
+import org.playground.DtoPropertyAccessor;
+import org.playground.QueryDto;
+import org.playground.filtering.FilterDto;
+import org.playground.paging.OffsetPage;
+import org.playground.sorting.SortDto;
+import org.playground.sorting.SortDtoComparator;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Executes query DTOs across partitions with scatter-gather.
+ * <p>
+ * The filter and sort DTOs are sent in parallel to every partition whose metadata may match the filter. Each
+ * partition returns only its first {@code skip + take} resources, which are k-way merged in the order of the sort DTO.
+ * Resources comparing equal are taken from the partition registered first. When the query DTO requests the total
+ * count, the counts of the partitions are summed.
+ *
+ * @param <RESOURCE> The type of the queried resources.
+ */
+public final class PartitionedQueryExecutor<RESOURCE> {
+
+  private final List<QueryPartition<RESOURCE>> partitions;
+  private final DtoPropertyAccessor<RESOURCE> propertyAccessor;
+  private final Executor executor;
+
+  /**
+   * Creates a partitioned query executor.
+   *
+   * @param partitions The partitions to query. Must not be {@code null}.
+   * @param propertyAccessor Reads the sort properties when merging the partition results. Must not be {@code null}.
+   * @param executor The executor running the partition queries. Must not be {@code null}.
+   */
+  public PartitionedQueryExecutor(
+    final List<? extends QueryPartition<RESOURCE>> partitions,
+    final DtoPropertyAccessor<RESOURCE> propertyAccessor,
+    final Executor executor
+  ) {
+    this.partitions = List.copyOf(requireNonNull(partitions));
+    this.propertyAccessor = requireNonNull(propertyAccessor);
+    this.executor = requireNonNull(executor);
+  }
+
+  /**
+   * Executes the given query DTO across all partitions.
+   *
+   * @param queryDto The query DTO. Must not be {@code null} and must not contain a search text.
+   * @return The requested page and, if requested, the total count.
+   * @throws IllegalArgumentException If the query DTO is invalid or contains a search text.
+   */
+  public QueryResult<RESOURCE> execute(final QueryDto queryDto) {
+    requireNonNull(queryDto);
+    if (queryDto.getSearchText().isPresent()) {
+      throw new IllegalArgumentException("Partitioned queries do not support search texts");
+    }
+    final FilterDto filter = queryDto.getFilter().orElse(null);
+    final SortDto sort = queryDto.getSort().orElse(null);
+    final OffsetPage page = OffsetPage.from(queryDto.getPage().orElse(null));
+    final int limit = page.take() == 0 ? 0 : page.end();
+    final boolean totalCount = queryDto.getTotalCount();
+
+    final List<CompletableFuture<PartitionPage<RESOURCE>>> futures = new ArrayList<>();
+    for (final QueryPartition<RESOURCE> partition : partitions) {
+      futures.add(CompletableFuture.supplyAsync(() -> query(partition, filter, sort, limit, totalCount), executor));
+    }
+    final List<PartitionPage<RESOURCE>> partitionPages = new ArrayList<>(futures.size());
+    for (final CompletableFuture<PartitionPage<RESOURCE>> future : futures) {
+      partitionPages.add(join(future));
+    }
+
+    final List<RESOURCE> resources = merge(partitionPages, new SortDtoComparator<>(sort, propertyAccessor), page);
+    if (!totalCount) {
+      return new QueryResult<>(resources, OptionalLong.empty());
+    }
+    final long count = partitionPages.stream().mapToLong(PartitionPage::totalCount).sum();
+    return new QueryResult<>(resources, OptionalLong.of(count));
+  }
+
+  /**
+   * Queries the given partition unless its metadata rules out matches. Checking the metadata may be expensive, e.g.
+   * when statistics are computed on first use, so it runs on the executor as well.
+   */
+  private PartitionPage<RESOURCE> query(
+    final QueryPartition<RESOURCE> partition,
+    final FilterDto filter,
+    final SortDto sort,
+    final int limit,
+    final boolean totalCount
+  ) {
+    if (!partition.mayMatch(filter)) {
+      return new PartitionPage<>(List.of(), totalCount ? 0 : -1);
+    }
+    return partition.query(filter, sort, limit, totalCount);
+  }
+
+  private List<RESOURCE> merge(
+    final List<PartitionPage<RESOURCE>> partitionPages,
+    final Comparator<RESOURCE> comparator,
+    final OffsetPage page
+  ) {
+    final PriorityQueue<Cursor<RESOURCE>> heads = new PriorityQueue<>(
+      Math.max(1, partitionPages.size()),
+      Comparator.comparing(Cursor<RESOURCE>::head, comparator).thenComparingInt(Cursor::partition)
+    );
+    for (int partition = 0; partition < partitionPages.size(); partition++) {
+      final List<RESOURCE> resources = partitionPages.get(partition).resources();
+      if (!resources.isEmpty()) {
+        heads.add(new Cursor<>(partition, resources, 0));
+      }
+    }
+    final List<RESOURCE> result = new ArrayList<>();
+    long position = 0;
+    while (!heads.isEmpty() && result.size() < page.take()) {
+      final Cursor<RESOURCE> cursor = heads.poll();
+      if (position++ >= page.skip()) {
+        result.add(cursor.head());
+      }
+      if (cursor.index() + 1 < cursor.resources().size()) {
+        heads.add(new Cursor<>(cursor.partition(), cursor.resources(), cursor.index() + 1));
+      }
+    }
+    return result;
+  }
+
+  private static <T> T join(final CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (final CompletionException exception) {
+      if (exception.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw exception;
+    }
+  }
+
+  private record Cursor<RESOURCE>(int partition, List<RESOURCE> resources, int index) {
+    private RESOURCE head() {
+      return resources.get(index);
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package org.playground.partitioning;
+
+import org.playground.sorting.SortDtoComparator;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Metadata about the values of one property within a partition, used to skip partitions which cannot match a filter.
+ * Minimum and maximum are only tracked when all non-null values are of one kind: floating point numbers, other
+ * numbers, strings or booleans. Only within those kinds the filter comparison and the sort comparison agree; mixed
+ * floating point and integral numbers, for example, are sorted through {@code double} but filtered exactly.
+ */
+final class PropertyStatistics {
+
+  private long nullCount;
+  private long nonNullCount;
+  private boolean ordered = true;
+  private Object minimum;
+  private Object maximum;
+
+  void add(final Object value) {
+    if (isNull(value)) {
+      nullCount++;
+      return;
+    }
+    nonNullCount++;
+    if (!ordered) {
+      return;
+    }
+    if (isNull(minimum)) {
+      ordered = kind(value) != null;
+      minimum = value;
+      maximum = value;
+      return;
+    }
+    if (kind(value) != kind(minimum)) {
+      ordered = false;
+      return;
+    }
+    if (SortDtoComparator.compareValues(value, minimum) < 0) minimum = value;
+    if (SortDtoComparator.compareValues(value, maximum) > 0) maximum = value;
+  }
+
+  long getNullCount() {
+    return nullCount;
+  }
+
+  long getNonNullCount() {
+    return nonNullCount;
+  }
+
+  /**
+   * Checks whether minimum and maximum can be used to skip partitions.
+   */
+  boolean isOrdered() {
+    return ordered && nonNullCount > 0;
+  }
+
+  Object getMinimum() {
+    return minimum;
+  }
+
+  Object getMaximum() {
+    return maximum;
+  }
+
+  private static Class<?> kind(final Object value) {
+    if (value instanceof Double || value instanceof Float) return Double.class;
+    if (value instanceof Number) return Number.class;
+    if (value instanceof String) return String.class;
+    if (value instanceof Boolean) return Boolean.class;
+    return null;
+  }
+}
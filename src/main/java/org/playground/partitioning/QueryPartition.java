@@ -0,0 +1,34 @@
+package org.playground.partitioning;
+
+import org.playground.filtering.FilterDto;
+import org.playground.sorting.SortDto;
+
+/**
+ * Defines a partition of the queried resources, e.g. a local store or a per-tenant segment.
+ *
+ * @param <RESOURCE> The type of the resources stored in the partition.
+ */
+public interface QueryPartition<RESOURCE> {
+  /**
+   * Returns the first resources of this partition which match the filter, in the order of the sort.
+   * Ties must be broken deterministically, so that the same query always returns the same resources.
+   *
+   * @param filter The filter DTO, may be {@code null} in which case all resources match.
+   * @param sort The sort DTO, may be {@code null} in which case the order is unspecified.
+   * @param limit The maximum number of resources to return.
+   * @param totalCount Whether the number of all matching resources must be counted.
+   * @return The matching resources and, if requested, their total count.
+   */
+  PartitionPage<RESOURCE> query(FilterDto filter, SortDto sort, int limit, boolean totalCount);
+
+  /**
+   * Checks from the partition metadata whether resources of this partition may match the filter.
+   * Implementations must only return {@code false} when no resource can match.
+   *
+   * @param filter The filter DTO, may be {@code null}.
+   * @return {@code false} when the partition can be skipped and {@code true} otherwise.
+   */
+  default boolean mayMatch(final FilterDto filter) {
+    return true;
+  }
+}
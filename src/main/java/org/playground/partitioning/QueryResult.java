@@ -0,0 +1,21 @@
+package org.playground.partitioning;
+
+import java.util.List;
+import java.util.OptionalLong;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The page of resources a partitioned query returned.
+ *
+ * @param resources The resources of the requested page in sort order.
+ * @param totalCount The number of all matching resources, if requested by the query DTO.
+ * @param <RESOURCE> The type of the resources.
+ */
+public record QueryResult<RESOURCE>(List<RESOURCE> resources, OptionalLong totalCount) {
+
+  public QueryResult {
+    resources = List.copyOf(requireNonNull(resources));
+    requireNonNull(totalCount);
+  }
+}
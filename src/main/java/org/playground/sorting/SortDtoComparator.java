@@ -0,0 +1,85 @@
+package org.playground.sorting;
+
+import org.playground.DtoPropertyAccessor;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.requireNonNull;
+import static org.playground.sorting.DtoSortOrder.DEFAULT_SORT_ORDER;
+import static org.playground.sorting.DtoSortOrder.DESCENDING;
+
+/**
+ * Compares resources according to the sort properties of a sort DTO.
+ * {@code null} property values are ordered before all other values, so they come first in ascending order.
+ *
+ * @param <RESOURCE> The type of the resources being compared.
+ */
+public final class SortDtoComparator<RESOURCE> implements Comparator<RESOURCE> {
+
+  private final Comparator<RESOURCE> comparator;
+
+  /**
+   * Creates a comparator for the given sort DTO.
+   *
+   * @param sortDto The sort DTO, may be {@code null} in which case all resources compare equal.
+   * @param propertyAccessor The accessor reading the sort properties. Must not be {@code null}.
+   * @throws IllegalArgumentException If a sort property has no name or an unsupported sort order.
+   */
+  public SortDtoComparator(final SortDto sortDto, final DtoPropertyAccessor<RESOURCE> propertyAccessor) {
+    requireNonNull(propertyAccessor);
+    Comparator<RESOURCE> result = (left, right) -> 0;
+    final List<SortPropertyDto> properties = isNull(sortDto) ? List.of() : sortDto.getProperties();
+    for (final SortPropertyDto property : properties) {
+      final String name = property
+        .getName()
+        .orElseThrow(() -> new IllegalArgumentException("Sort property must have a name"));
+      final DtoSortOrder order = property.getOrder().map(DtoSortOrder::valueOf).orElse(DEFAULT_SORT_ORDER);
+      final Comparator<RESOURCE> propertyComparator = (left, right) ->
+        compareValues(propertyAccessor.getProperty(left, name), propertyAccessor.getProperty(right, name));
+      result = result.thenComparing(order == DESCENDING ? propertyComparator.reversed() : propertyComparator);
+    }
+    this.comparator = result;
+  }
+
+  @Override
+  public int compare(final RESOURCE left, final RESOURCE right) {
+    return comparator.compare(left, right);
+  }
+
+  /**
+   * Compares two property values. Numbers are compared by their numeric value, with floating point numbers including
+   * {@code NaN} and infinities ordered like {@link Double#compare(double, double)}. Other comparable values of the same
+   * class by their natural order and everything else by its string representation.
+   *
+   * @param left The left value, may be {@code null}.
+   * @param right The right value, may be {@code null}.
+   * @return A negative integer, zero, or a positive integer as the left value is less than, equal to, or greater
+   * than the right value.
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  public static int compareValues(final Object left, final Object right) {
+    if (left == right) return 0;
+    if (isNull(left)) return -1;
+    if (isNull(right)) return 1;
+    if (left instanceof Number leftNumber && right instanceof Number rightNumber) {
+      if (left.getClass() == right.getClass() && left instanceof Comparable comparable) {
+        return comparable.compareTo(right);
+      }
+      if (isFloatingPoint(left) || isFloatingPoint(right)) {
+        return Double.compare(leftNumber.doubleValue(), rightNumber.doubleValue());
+      }
+      return new BigDecimal(leftNumber.toString()).compareTo(new BigDecimal(rightNumber.toString()));
+    }
+    if (left.getClass() == right.getClass() && left instanceof Comparable comparable) {
+      return comparable.compareTo(right);
+    }
+    return left.toString().compareTo(right.toString());
+  }
+
+  private static boolean isFloatingPoint(final Object value) {
+    return value instanceof Double || value instanceof Float;
+  }
+}
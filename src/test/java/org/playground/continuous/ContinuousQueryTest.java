@@ -0,0 +1,323 @@
+package org.playground.continuous;
+
+import org.junit.jupiter.api.Test;
+import org.playground.DtoPropertyAccessor;
+import org.playground.QueryDto;
+import org.playground.filtering.FilterDto;
+import org.playground.paging.OffsetPageDto;
+import org.playground.sorting.DtoSortOrder;
+import org.playground.sorting.SortDto;
+import org.playground.sorting.SortPropertyDto;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.playground.filtering.DtoFilterOperator.GREATER_THAN;
+
+class ContinuousQueryTest {
+
+  private static final DtoPropertyAccessor<Order> ACCESSOR = (order, propertyName) ->
+    switch (propertyName) {
+      case "status" -> order.status;
+      case "createdAt" -> order.createdAt;
+      default -> order.id;
+    };
+
+  private static final SortDto NEWEST_FIRST = new SortDto(
+    List.of(new SortPropertyDto("createdAt", DtoSortOrder.DESCENDING))
+  );
+  private static final FilterDto OPEN = new FilterDto("status", "open");
+
+  private final MutableSource<Integer, Order> source = new MutableSource<>(order -> order.id, ACCESSOR);
+  private final List<QueryDiff<Order>> diffs = new ArrayList<>();
+
+  @Test
+  void initialPageRespectsSkipAndTake() {
+    putOpenOrders(10);
+
+    final ContinuousQuery<Integer, Order> query = register(2, 3, false);
+
+    assertEquals(List.of(7, 6, 5), ids(query.getPage()));
+    assertEquals(10, query.getTotalCount());
+  }
+
+  @Test
+  void skipBeyondMatchingResourcesKeepsPageEmpty() {
+    putOpenOrders(3);
+    final ContinuousQuery<Integer, Order> query = register(5, 2, false);
+
+    source.put(new Order(3, "open", 3));
+
+    assertEquals(List.of(), ids(query.getPage()));
+    assertTrue(diffs.isEmpty());
+  }
+
+  @Test
+  void takeZeroOnlyEmitsTotalCount() {
+    putOpenOrders(3);
+    register(0, 0, true);
+
+    source.put(new Order(3, "open", 3));
+
+    assertEquals(1, diffs.size());
+    assertFalse(diffs.get(0).isPageChanged());
+    assertEquals(3, diffs.get(0).getPreviousTotalCount());
+    assertEquals(4, diffs.get(0).getTotalCount());
+  }
+
+  @Test
+  void insertAfterPageEmitsTotalCountWithoutPageChange() {
+    putOpenOrders(10);
+    final ContinuousQuery<Integer, Order> query = register(0, 3, true);
+
+    source.put(new Order(10, "open", -1));
+
+    assertEquals(1, diffs.size());
+    assertFalse(diffs.get(0).isPageChanged());
+    assertTrue(diffs.get(0).isTotalCountChanged());
+    assertEquals(List.of(9, 8, 7), ids(query.getPage()));
+  }
+
+  @Test
+  void insertAfterPageWithoutTotalCountEmitsNothing() {
+    putOpenOrders(10);
+    register(0, 3, false);
+
+    source.put(new Order(10, "open", -1));
+
+    assertTrue(diffs.isEmpty());
+  }
+
+  @Test
+  void insertBeforeSkipShiftsPage() {
+    putOpenOrders(10);
+    final ContinuousQuery<Integer, Order> query = register(2, 3, false);
+
+    source.put(new Order(10, "open", 100));
+
+    assertEquals(List.of(8, 7, 6), ids(query.getPage()));
+    final QueryDiff<Order> diff = diffs.get(0);
+    assertEquals(List.of(8), ids(diff.getAdded()));
+    assertEquals(List.of(5), ids(diff.getRemoved()));
+    assertEquals(List.of(7, 6), ids(diff.getMoved()));
+  }
+
+  @Test
+  void deleteBeforeSkipShiftsPage() {
+    putOpenOrders(10);
+    final ContinuousQuery<Integer, Order> query = register(2, 3, false);
+
+    source.remove(9);
+
+    assertEquals(List.of(6, 5, 4), ids(query.getPage()));
+    final QueryDiff<Order> diff = diffs.get(0);
+    assertEquals(List.of(4), ids(diff.getAdded()));
+    assertEquals(List.of(7), ids(diff.getRemoved()));
+    assertEquals(List.of(6, 5), ids(diff.getMoved()));
+  }
+
+  @Test
+  void deleteOfNonMatchingResourceEmitsNothing() {
+    putOpenOrders(5);
+    source.put(new Order(5, "closed", 100));
+    register(0, 3, true);
+
+    source.remove(5);
+
+    assertTrue(diffs.isEmpty());
+  }
+
+  @Test
+  void updateMovesResourceWithinPage() {
+    putOpenOrders(10);
+    final ContinuousQuery<Integer, Order> query = register(0, 5, false);
+
+    source.put(new Order(6, "open", 8.5));
+
+    assertEquals(List.of(9, 6, 8, 7, 5), ids(query.getPage()));
+    final QueryDiff<Order> diff = diffs.get(0);
+    assertTrue(diff.getAdded().isEmpty());
+    assertTrue(diff.getRemoved().isEmpty());
+    assertEquals(List.of(6, 8, 7), ids(diff.getMoved()));
+    assertEquals(List.of(6), ids(diff.getUpdated()));
+  }
+
+  @Test
+  void updateOutOfFilterRemovesResourceFromPage() {
+    putOpenOrders(10);
+    final ContinuousQuery<Integer, Order> query = register(0, 3, true);
+
+    source.put(new Order(8, "closed", 8));
+
+    assertEquals(List.of(9, 7, 6), ids(query.getPage()));
+    assertEquals(List.of(8), ids(diffs.get(0).getRemoved()));
+    assertEquals(9, diffs.get(0).getTotalCount());
+  }
+
+  @Test
+  void updateOfResourceModifiedInPlaceKeepsOrder() {
+    final List<Order> orders = putOpenOrders(5);
+    final ContinuousQuery<Integer, Order> query = register(0, 10, true);
+
+    orders.get(2).createdAt = 100;
+    source.put(orders.get(2));
+
+    assertEquals(List.of(2, 4, 3, 1, 0), ids(query.getPage()));
+    assertEquals(5, query.getTotalCount());
+    assertFalse(diffs.get(0).isTotalCountChanged());
+  }
+
+  @Test
+  void sortsAndFiltersNonFiniteFloatingPointValues() {
+    putOpenOrders(3);
+    final ContinuousQuery<Integer, Order> query = source.register(
+      new QueryDto(new QueryDto(NEWEST_FIRST), new FilterDto("createdAt", "0", GREATER_THAN)),
+      diffs::add
+    );
+
+    source.put(new Order(3, "open", Double.NaN));
+    source.put(new Order(4, "open", Double.POSITIVE_INFINITY));
+    source.put(new Order(5, "open", Double.NEGATIVE_INFINITY));
+
+    assertEquals(List.of(3, 4, 2, 1), ids(query.getPage()));
+  }
+
+  @Test
+  void closingQueryFromListenerDoesNotSkipOtherQueries() {
+    final List<ContinuousQuery<Integer, Order>> closing = new ArrayList<>();
+    closing.add(source.register(new QueryDto(NEWEST_FIRST), diff -> closing.get(0).close()));
+    final ContinuousQuery<Integer, Order> other = register(0, 10, true);
+
+    source.put(new Order(1, "open", 1));
+    source.put(new Order(2, "open", 2));
+
+    assertEquals(List.of(2, 1), ids(other.getPage()));
+    assertEquals(List.of(1), ids(closing.get(0).getPage()));
+  }
+
+  @Test
+  void failingListenerDoesNotHideModificationsFromOtherQueries() {
+    final IllegalStateException failure = new IllegalStateException("listener failed");
+    final ContinuousQuery<Integer, Order> failing = source.register(
+      new QueryDto(NEWEST_FIRST),
+      diff -> {
+        throw failure;
+      }
+    );
+    final ContinuousQuery<Integer, Order> other = register(0, 10, true);
+
+    assertSame(failure, assertThrows(IllegalStateException.class, () -> source.put(new Order(1, "open", 1))));
+    assertSame(failure, assertThrows(IllegalStateException.class, () -> source.remove(1)));
+    assertSame(failure, assertThrows(IllegalStateException.class, () -> source.put(new Order(2, "open", 2))));
+
+    assertEquals(List.of(2), ids(failing.getPage()));
+    assertEquals(List.of(2), ids(other.getPage()));
+    assertEquals(3, diffs.size());
+    assertEquals(List.of(2), ids(diffs.get(2).getPage()));
+  }
+
+  @Test
+  void suppressesFailuresOfFurtherListeners() {
+    final IllegalStateException first = new IllegalStateException("first");
+    final IllegalStateException second = new IllegalStateException("second");
+    source.register(new QueryDto(NEWEST_FIRST), diff -> {
+      throw first;
+    });
+    source.register(new QueryDto(NEWEST_FIRST), diff -> {
+      throw second;
+    });
+
+    final IllegalStateException thrown = assertThrows(
+      IllegalStateException.class,
+      () -> source.put(new Order(1, "open", 1))
+    );
+
+    assertSame(first, thrown);
+    assertEquals(List.of(second), List.of(thrown.getSuppressed()));
+  }
+
+  @Test
+  void matchesRecomputedPageForRandomModifications() {
+    final Random random = new Random(42);
+    final Map<Integer, Order> orders = new HashMap<>();
+    final ContinuousQuery<Integer, Order> query = register(3, 5, true);
+    List<Integer> previousPage = List.of();
+    long previousCount = 0;
+
+    for (int step = 0; step < 5000; step++) {
+      final int id = random.nextInt(40);
+      final boolean remove = random.nextInt(4) == 0;
+      if (remove) {
+        source.remove(id);
+        orders.remove(id);
+      } else {
+        final Order order = new Order(id, random.nextBoolean() ? "open" : "closed", random.nextInt(50));
+        source.put(order);
+        orders.put(id, order);
+      }
+      final List<Order> matching = orders
+        .values()
+        .stream()
+        .filter(order -> order.status.equals("open"))
+        .sorted(Comparator.<Order>comparingDouble(order -> -order.createdAt).thenComparingInt(order -> order.id))
+        .toList();
+      final List<Integer> expectedPage = ids(matching.stream().skip(3).limit(5).toList());
+      final boolean updated = !remove && previousPage.contains(id) && expectedPage.contains(id);
+      final boolean changed = updated || !expectedPage.equals(previousPage) || matching.size() != previousCount;
+
+      assertEquals(expectedPage, ids(query.getPage()), "page at step " + step);
+      assertEquals(matching.size(), query.getTotalCount(), "total count at step " + step);
+      assertEquals(changed ? 1 : 0, diffs.size(), "diffs at step " + step);
+      if (changed) {
+        assertEquals(expectedPage, ids(diffs.get(0).getPage()), "diff page at step " + step);
+      }
+      diffs.clear();
+      previousPage = expectedPage;
+      previousCount = matching.size();
+    }
+  }
+
+  private ContinuousQuery<Integer, Order> register(final int skip, final int take, final boolean totalCount) {
+    final QueryDto queryDto = new QueryDto(new OffsetPageDto(skip, take), NEWEST_FIRST, OPEN).setTotalCount(totalCount);
+    return source.register(queryDto, diffs::add);
+  }
+
+  /**
+   * Puts open orders with ids and creation times from {@code 0} to {@code count - 1}.
+   */
+  private List<Order> putOpenOrders(final int count) {
+    final List<Order> orders = new ArrayList<>();
+    for (int id = 0; id < count; id++) {
+      final Order order = new Order(id, "open", id);
+      source.put(order);
+      orders.add(order);
+    }
+    return orders;
+  }
+
+  private static List<Integer> ids(final List<Order> orders) {
+    return orders.stream().map(order -> order.id).toList();
+  }
+
+  private static final class Order {
+
+    private final int id;
+    private String status;
+    private double createdAt;
+
+    private Order(final int id, final String status, final double createdAt) {
+      this.id = id;
+      this.status = status;
+      this.createdAt = createdAt;
+    }
+  }
+}
@@ -0,0 +1,187 @@
+package org.playground.filtering;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.playground.filtering.DtoFilterOperator.CONTAINS;
+import static org.playground.filtering.DtoFilterOperator.ENDS_WITH;
+import static org.playground.filtering.DtoFilterOperator.EQUAL;
+import static org.playground.filtering.DtoFilterOperator.NOT_CONTAINS;
+import static org.playground.filtering.DtoFilterOperator.STARTS_WITH;
+import static org.playground.filtering.StringMatcher.SKIP_TABLE_MIN_LENGTH;
+
+class StringMatcherTest {
+
+  private static final String SHORT_NEEDLE = "xY";
+  private static final String LONG_NEEDLE = "NeedLe";
+
+  @Test
+  void needlesCoverBothSearchStrategies() {
+    assertTrue(SHORT_NEEDLE.length() < SKIP_TABLE_MIN_LENGTH);
+    assertTrue(LONG_NEEDLE.length() >= SKIP_TABLE_MIN_LENGTH);
+  }
+
+  @Test
+  void containsFindsNeedlesAtEveryOffsetAcrossWordBoundaries() {
+    for (final String needle : new String[] { SHORT_NEEDLE, LONG_NEEDLE }) {
+      final StringMatcher matcher = StringMatcher.compile(CONTAINS, needle);
+      for (int length = 0; length <= 3 * Long.BYTES; length++) {
+        for (int position = 0; position <= length; position++) {
+          final String value = "-".repeat(position) + needle.toUpperCase() + "-".repeat(length - position);
+          assertMatches(true, matcher, value);
+        }
+        assertMatches(false, matcher, "-".repeat(length));
+      }
+    }
+  }
+
+  @Test
+  void containsRejectsPartialMatchesAtTheEnd() {
+    for (int length = 0; length <= 2 * Long.BYTES; length++) {
+      final String prefix = "-".repeat(length);
+      assertMatches(false, StringMatcher.compile(CONTAINS, SHORT_NEEDLE), prefix + "X");
+      assertMatches(false, StringMatcher.compile(CONTAINS, LONG_NEEDLE), prefix + "NEEDL");
+    }
+  }
+
+  @Test
+  void notContainsNegatesContains() {
+    final StringMatcher matcher = StringMatcher.compile(NOT_CONTAINS, LONG_NEEDLE);
+
+    assertMatches(false, matcher, "a haystack with a needle");
+    assertMatches(true, matcher, "a haystack without one");
+  }
+
+  @Test
+  void startsWithAndEndsWithIgnoreCase() {
+    for (final String needle : new String[] { SHORT_NEEDLE, LONG_NEEDLE }) {
+      final StringMatcher startsWith = StringMatcher.compile(STARTS_WITH, needle);
+      final StringMatcher endsWith = StringMatcher.compile(ENDS_WITH, needle);
+      final String value = needle.toUpperCase() + "-".repeat(Long.BYTES) + needle.toLowerCase();
+
+      assertMatches(true, startsWith, value);
+      assertMatches(true, endsWith, value);
+      assertMatches(false, startsWith, "-" + value);
+      assertMatches(false, endsWith, value + "-");
+      assertMatches(false, startsWith, needle.substring(1));
+      assertMatches(false, endsWith, needle.substring(1));
+    }
+  }
+
+  @Test
+  void emptyNeedleMatchesEverything() {
+    for (final DtoFilterOperator operator : new DtoFilterOperator[] { CONTAINS, STARTS_WITH, ENDS_WITH }) {
+      assertMatches(true, StringMatcher.compile(operator, ""), "");
+      assertMatches(true, StringMatcher.compile(operator, ""), "value");
+    }
+    assertMatches(false, StringMatcher.compile(NOT_CONTAINS, ""), "value");
+  }
+
+  @Test
+  void nonAsciiCharactersFoldingToAsciiLettersMatchInBytes() {
+    assertMatches(true, StringMatcher.compile(CONTAINS, "ok"), "O\u212A");
+    assertMatches(true, StringMatcher.compile(CONTAINS, "mask"), "MA\u017FK");
+    assertMatches(true, StringMatcher.compile(STARTS_WITH, "is"), "\u0131S and more");
+    assertMatches(true, StringMatcher.compile(ENDS_WITH, "line"), "L\u0130NE");
+    assertMatches(true, StringMatcher.compile(CONTAINS, "\u212A"), "kilo");
+    assertMatches(false, StringMatcher.compile(CONTAINS, "ok"), "o\u00E9");
+  }
+
+  @Test
+  void nonAsciiNeedlesMatchInBytes() {
+    assertMatches(true, StringMatcher.compile(CONTAINS, "caf\u00E9"), "Le CAF\u00C9 du coin");
+    assertMatches(true, StringMatcher.compile(ENDS_WITH, "\u00DCber"), "d\u00FCber");
+    assertMatches(false, StringMatcher.compile(STARTS_WITH, "\u00E9"), "e");
+  }
+
+  @Test
+  void supplementaryCharactersAreFoldedAsCodePoints() {
+    assertMatches(true, StringMatcher.compile(CONTAINS, "\uD801\uDC28"), "x\uD801\uDC00");
+    assertMatches(true, StringMatcher.compile(STARTS_WITH, "\uD801\uDC00long"), "\uD801\uDC28LONG needle");
+    assertMatches(true, StringMatcher.compile(ENDS_WITH, "a\uD801\uDC28"), "xA\uD801\uDC00");
+    assertMatches(false, StringMatcher.compile(CONTAINS, "\uD801\uDC28"), "x\uD801\uDC01");
+    assertMatches(false, StringMatcher.compile(CONTAINS, "\uDC28"), "x\uD801\uDC00");
+  }
+
+  @Test
+  void bytesAreMatchedWithinTheGivenRange() {
+    final byte[] utf8 = "needle-value-needle".getBytes(UTF_8);
+
+    assertFalse(StringMatcher.compile(CONTAINS, LONG_NEEDLE).matches(utf8, 6, 7));
+    assertTrue(StringMatcher.compile(STARTS_WITH, "value").matches(utf8, 7, 5));
+    assertTrue(StringMatcher.compile(ENDS_WITH, "value").matches(utf8, 0, 12));
+  }
+
+  @Test
+  void otherValuesAreMatchedByTheirStringRepresentation() {
+    assertTrue(StringMatcher.compile(CONTAINS, "234").matches((Object) 12345));
+    assertTrue(StringMatcher.compile(ENDS_WITH, "ED").matches((Object) new StringBuilder("closed")));
+  }
+
+  @Test
+  void compileRejectsNonStringOperators() {
+    assertThrows(IllegalArgumentException.class, () -> StringMatcher.compile(EQUAL, "value"));
+  }
+
+  @Test
+  void matchesEqualsIgnoreCaseForRandomValues() {
+    final String[] alphabet = {
+      "a", "A", "b", "B", "k", "K", "s", "S", "i", "I", "\u212A", "\u017F", "\u0130", "\u0131", "\u00E9", "\u00C9",
+      "\uD801\uDC28", "\uD801\uDC00", "\uD801\uDC29", "-", " ",
+    };
+    final Random random = new Random(7);
+    for (int run = 0; run < 20_000; run++) {
+      final String needle = randomString(random, alphabet, random.nextBoolean() ? 3 : 8);
+      final String value = randomString(random, alphabet, 40);
+      for (final DtoFilterOperator operator : StringMatcher.STRING_OPERATORS) {
+        assertMatches(expected(operator, value, needle), StringMatcher.compile(operator, needle), value);
+      }
+    }
+  }
+
+  /**
+   * Asserts the match result for the value as string and as UTF-8 bytes placed at an unaligned offset.
+   */
+  private static void assertMatches(final boolean expected, final StringMatcher matcher, final String value) {
+    assertEquals(expected, matcher.matches(value), "string [" + value + "]");
+    final byte[] utf8 = ("123" + value + "4").getBytes(UTF_8);
+    assertEquals(expected, matcher.matches(utf8, 3, utf8.length - 4), "bytes [" + value + "]");
+    assertEquals(expected, matcher.matches((Object) value.getBytes(UTF_8)), "byte array [" + value + "]");
+  }
+
+  private static boolean expected(final DtoFilterOperator operator, final String value, final String needle) {
+    final int length = needle.length();
+    return switch (operator) {
+      case STARTS_WITH -> value.regionMatches(true, 0, needle, 0, length);
+      case ENDS_WITH -> value.length() >= length &&
+        value.regionMatches(true, value.length() - length, needle, 0, length);
+      case CONTAINS -> contains(value, needle);
+      case NOT_CONTAINS -> !contains(value, needle);
+      default -> throw new IllegalArgumentException();
+    };
+  }
+
+  private static boolean contains(final String value, final String needle) {
+    for (int index = 0; index + needle.length() <= value.length(); index++) {
+      if (value.regionMatches(true, index, needle, 0, needle.length())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static String randomString(final Random random, final String[] alphabet, final int maxLength) {
+    final StringBuilder builder = new StringBuilder();
+    final int length = random.nextInt(maxLength + 1);
+    for (int index = 0; index < length; index++) {
+      builder.append(alphabet[random.nextInt(random.nextBoolean() ? 4 : alphabet.length)]);
+    }
+    return builder.toString();
+  }
+}
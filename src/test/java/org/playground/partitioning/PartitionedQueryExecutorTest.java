@@ -0,0 +1,243 @@
+package org.playground.partitioning;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.playground.DtoPropertyAccessor;
+import org.playground.QueryDto;
+import org.playground.filtering.DtoFilterLogic;
+import org.playground.filtering.FilterDto;
+import org.playground.filtering.FilterDtoPredicateVisitor;
+import org.playground.paging.OffsetPageDto;
+import org.playground.sorting.DtoSortOrder;
+import org.playground.sorting.SortDto;
+import org.playground.sorting.SortDtoComparator;
+import org.playground.sorting.SortPropertyDto;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.playground.filtering.DtoFilterOperator.GREATER_THAN;
+import static org.playground.filtering.DtoFilterOperator.IN;
+import static org.playground.filtering.DtoFilterOperator.NOT_EQUAL;
+import static org.playground.filtering.DtoFilterOperator.STARTS_WITH;
+
+class PartitionedQueryExecutorTest {
+
+  private static final DtoPropertyAccessor<Row> ACCESSOR = (row, propertyName) ->
+    switch (propertyName) {
+      case "tenant" -> row.tenant();
+      case "name" -> row.name();
+      case "score" -> row.score();
+      default -> row.id();
+    };
+
+  private static final SortDto BY_SCORE_AND_NAME = new SortDto(
+    List.of(new SortPropertyDto("score", DtoSortOrder.DESCENDING), new SortPropertyDto("name"))
+  );
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(4);
+  private final List<List<Row>> partitionRows = new ArrayList<>();
+  private final Set<Integer> queriedTenants = ConcurrentHashMap.newKeySet();
+  private final Set<Thread> metadataThreads = ConcurrentHashMap.newKeySet();
+
+  @AfterEach
+  void shutdownExecutor() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void mergesPagesLikeSingleListEvaluation() {
+    createRandomPartitions(8, 200);
+    final PartitionedQueryExecutor<Row> partitionedExecutor = executor();
+    final List<FilterDto> filters = new ArrayList<>();
+    filters.add(null);
+    filters.add(new FilterDto("tenant", "3"));
+    filters.add(new FilterDto("tenant", "2,5", IN));
+    filters.add(new FilterDto("score", "50", GREATER_THAN));
+    filters.add(new FilterDto("score", null));
+    filters.add(new FilterDto("score", "50", NOT_EQUAL));
+    filters.add(
+      new FilterDto(DtoFilterLogic.OR, new FilterDto("tenant", "1"), new FilterDto("name", "n1", STARTS_WITH))
+    );
+
+    for (final FilterDto filter : filters) {
+      for (final int skip : new int[] { 0, 1, 7, 150, 5000 }) {
+        for (final int take : new int[] { 0, 1, 5, 40, 1000 }) {
+          final QueryDto query = new QueryDto(new OffsetPageDto(skip, take), BY_SCORE_AND_NAME, filter);
+          final QueryResult<Row> result = partitionedExecutor.execute(query.setTotalCount(true));
+
+          final List<Row> matching = evaluate(filter, BY_SCORE_AND_NAME);
+          final String description = filter + " skip " + skip + " take " + take;
+          assertEquals(matching.stream().skip(skip).limit(take).toList(), result.resources(), description);
+          assertEquals(OptionalLong.of(matching.size()), result.totalCount(), description);
+        }
+      }
+    }
+  }
+
+  @Test
+  void takesPagesAcrossPartitionBoundaries() {
+    partitionRows.add(List.of(row(0, 0, 9), row(1, 0, 6), row(2, 0, 3)));
+    partitionRows.add(List.of(row(3, 1, 8), row(4, 1, 5), row(5, 1, 2)));
+    partitionRows.add(List.of(row(6, 2, 7), row(7, 2, 4), row(8, 2, 1)));
+
+    final QueryResult<Row> result = executor().execute(new QueryDto(new OffsetPageDto(2, 4), BY_SCORE_AND_NAME));
+
+    assertEquals(List.of(6, 1, 4, 7), result.resources().stream().map(Row::id).toList());
+    assertEquals(OptionalLong.empty(), result.totalCount());
+  }
+
+  @Test
+  void takesEqualResourcesFromEarlierPartitionsFirst() {
+    partitionRows.add(List.of(row(0, 0, 1), row(1, 0, 1)));
+    partitionRows.add(List.of(row(2, 1, 1), row(3, 1, 1)));
+
+    final SortDto sort = new SortDto(List.of(new SortPropertyDto("score")));
+    final QueryResult<Row> result = executor().execute(new QueryDto(new OffsetPageDto(1, 2), sort));
+
+    assertEquals(List.of(1, 2), result.resources().stream().map(Row::id).toList());
+  }
+
+  @Test
+  void notEqualMatchesPartitionsWithOnlyNullValues() {
+    partitionRows.add(List.of(new Row(0, 0, "a", null)));
+    partitionRows.add(List.of(row(1, 1, 5)));
+
+    final QueryDto query = new QueryDto(new FilterDto("score", "5", NOT_EQUAL)).setTotalCount(true);
+    final QueryResult<Row> result = executor().execute(query);
+
+    assertEquals(partitionRows.get(0), result.resources());
+    assertEquals(OptionalLong.of(1), result.totalCount());
+  }
+
+  @Test
+  void doesNotSkipPartitionsMixingFloatingPointAndIntegralNumbers() {
+    partitionRows.add(List.of(new Row(0, 0, "a", 9007199254740992.0), new Row(1, 0, "b", 9007199254740993L)));
+
+    final QueryDto query = new QueryDto(new FilterDto("score", "9007199254740992", GREATER_THAN)).setTotalCount(true);
+    final QueryResult<Row> result = executor().execute(query);
+
+    assertEquals(List.of(partitionRows.get(0).get(1)), result.resources());
+    assertEquals(OptionalLong.of(1), result.totalCount());
+  }
+
+  @Test
+  void skipsPartitionsWhoseMetadataCannotMatch() {
+    createRandomPartitions(8, 50);
+
+    final QueryResult<Row> result = executor().execute(new QueryDto(new FilterDto("tenant", "2,5", IN)));
+
+    assertEquals(Set.of(2, 5), queriedTenants);
+    assertEquals(evaluate(new FilterDto("tenant", "2,5", IN), null).size(), result.resources().size());
+  }
+
+  @Test
+  void checksPartitionMetadataOnTheExecutor() {
+    createRandomPartitions(4, 50);
+
+    executor().execute(new QueryDto(new FilterDto("score", "50", GREATER_THAN)));
+
+    assertFalse(metadataThreads.isEmpty());
+    assertFalse(metadataThreads.contains(Thread.currentThread()));
+  }
+
+  @Test
+  void propagatesPartitionFailures() {
+    partitionRows.add(List.of(row(0, 0, 1)));
+
+    final QueryDto query = new QueryDto(new FilterDto("score", "not a number", GREATER_THAN));
+
+    assertThrows(NumberFormatException.class, () -> executor().execute(query));
+  }
+
+  @Test
+  void rejectsSearchTexts() {
+    final QueryDto query = new QueryDto(BY_SCORE_AND_NAME).setSearchText("text");
+
+    assertThrows(IllegalArgumentException.class, () -> executor().execute(query));
+  }
+
+  private PartitionedQueryExecutor<Row> executor() {
+    final List<QueryPartition<Row>> partitions = new ArrayList<>();
+    for (int tenant = 0; tenant < partitionRows.size(); tenant++) {
+      partitions.add(new RecordingPartition(tenant, new LocalPartition<>(partitionRows.get(tenant), ACCESSOR)));
+    }
+    return new PartitionedQueryExecutor<>(partitions, ACCESSOR, executor);
+  }
+
+  /**
+   * Evaluates the filter and sort over all rows in one list, breaking ties by partition and position.
+   */
+  private List<Row> evaluate(final FilterDto filter, final SortDto sort) {
+    final Comparator<Row> comparator = new SortDtoComparator<>(sort, ACCESSOR)
+      .thenComparingInt(Row::tenant)
+      .thenComparingInt(Row::id);
+    return partitionRows
+      .stream()
+      .flatMap(List::stream)
+      .filter(new FilterDtoPredicateVisitor<>(ACCESSOR).compile(filter))
+      .sorted(comparator)
+      .toList();
+  }
+
+  private void createRandomPartitions(final int count, final int maxSize) {
+    final Random random = new Random(3);
+    int id = 0;
+    for (int tenant = 0; tenant < count; tenant++) {
+      final List<Row> rows = new ArrayList<>();
+      final int size = random.nextInt(maxSize);
+      for (int index = 0; index < size; index++) {
+        final Integer score = random.nextInt(10) == 0 ? null : random.nextInt(100);
+        rows.add(new Row(id++, tenant, "n" + random.nextInt(30), score));
+      }
+      partitionRows.add(rows);
+    }
+  }
+
+  private static Row row(final int id, final int tenant, final int score) {
+    return new Row(id, tenant, "n" + id, score);
+  }
+
+  private record Row(int id, int tenant, String name, Number score) {}
+
+  /**
+   * Records which partitions were queried and on which threads their metadata was checked.
+   */
+  private final class RecordingPartition implements QueryPartition<Row> {
+
+    private final int tenant;
+    private final LocalPartition<Row> delegate;
+
+    private RecordingPartition(final int tenant, final LocalPartition<Row> delegate) {
+      this.tenant = tenant;
+      this.delegate = delegate;
+    }
+
+    @Override
+    public PartitionPage<Row> query(
+      final FilterDto filter,
+      final SortDto sort,
+      final int limit,
+      final boolean totalCount
+    ) {
+      queriedTenants.add(tenant);
+      return delegate.query(filter, sort, limit, totalCount);
+    }
+
+    @Override
+    public boolean mayMatch(final FilterDto filter) {
+      metadataThreads.add(Thread.currentThread());
+      return delegate.mayMatch(filter);
+    }
+  }
+}